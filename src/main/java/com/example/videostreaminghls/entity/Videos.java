@@ -29,6 +29,18 @@ public class Videos {
 
     private String FileSize;
 
+    private String videoCodec;
+
+    private String videoProfile;
+
+    private String audioCodec;
+
+    private Long bitRate;
+
+    private Double keyframeInterval;
+
+    private Boolean remuxed;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -132,6 +144,54 @@ public class Videos {
         FileSize = fileSize;
     }
 
+    public String getVideoCodec() {
+        return videoCodec;
+    }
+
+    public void setVideoCodec(String videoCodec) {
+        this.videoCodec = videoCodec;
+    }
+
+    public String getVideoProfile() {
+        return videoProfile;
+    }
+
+    public void setVideoProfile(String videoProfile) {
+        this.videoProfile = videoProfile;
+    }
+
+    public String getAudioCodec() {
+        return audioCodec;
+    }
+
+    public void setAudioCodec(String audioCodec) {
+        this.audioCodec = audioCodec;
+    }
+
+    public Long getBitRate() {
+        return bitRate;
+    }
+
+    public void setBitRate(Long bitRate) {
+        this.bitRate = bitRate;
+    }
+
+    public Double getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public void setKeyframeInterval(Double keyframeInterval) {
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    public Boolean getRemuxed() {
+        return remuxed;
+    }
+
+    public void setRemuxed(Boolean remuxed) {
+        this.remuxed = remuxed;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
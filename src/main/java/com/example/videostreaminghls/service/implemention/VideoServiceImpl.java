@@ -7,7 +7,9 @@ import net.bramp.ffmpeg.FFmpeg;
 import net.bramp.ffmpeg.FFmpegExecutor;
 import net.bramp.ffmpeg.FFprobe;
 import net.bramp.ffmpeg.builder.FFmpegBuilder;
+import net.bramp.ffmpeg.builder.FFmpegOutputBuilder;
 import net.bramp.ffmpeg.probe.FFmpegProbeResult;
+import net.bramp.ffmpeg.probe.FFmpegStream;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,10 +19,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 
 /**
@@ -39,6 +45,21 @@ public class VideoServiceImpl implements VideosService {
     @Value("${app.ffmpeg.path}")
     private String ffmpegPath; // Path to the FFmpeg executable
 
+    @Value("${app.video.hls-time:10}")
+    private int hlsTime; // Target HLS segment length in seconds
+
+    @Value("${app.video.remux.max-bitrate:8000000}")
+    private long remuxMaxBitRate; // Highest source bitrate (bits/s) served without re-encoding
+
+    @Value("${app.video.remux.keyframe-probe-seconds:30}")
+    private int keyframeProbeSeconds; // How much of the source is scanned to measure the keyframe interval
+
+    @Value("${app.video.remux.keyframe-probe-timeout-seconds:60}")
+    private long keyframeProbeTimeoutSeconds; // How long the keyframe scan may run before it is killed
+
+    // H.264 profiles every HLS client is expected to decode
+    private static final List<String> REMUX_VIDEO_PROFILES = List.of("constrained baseline", "baseline", "main", "high");
+
     /**
      * Constructor for VideoServiceImpl.
      *
@@ -146,32 +167,227 @@ public class VideoServiceImpl implements VideosService {
         FFmpegProbeResult probeResult = ffprobe.probe(video.getFilePath());
         double duration = probeResult.getFormat().duration;
         video.setDuration(String.valueOf(duration));
+        applyProbeResult(video, probeResult, ffprobe);
 
         // Create HLS directory for this video
         String videoId = video.getId().toString();
         Path hlsVideoDir = Paths.get(hlsDir, videoId);
         Files.createDirectories(hlsVideoDir);
 
-        // HLS output path
-        String hlsPlaylistPath = hlsVideoDir.resolve("playlist.m3u8").toString();
+        FFmpegExecutor executor = new FFmpegExecutor(ffmpeg, ffprobe);
+
+        // Compatible sources are only repackaged into segments, everything else is re-encoded
+        boolean remuxed = false;
+        if (isRemuxCompatible(video.getVideoCodec(), video.getVideoProfile(), video.getAudioCodec(),
+                video.getBitRate(), video.getKeyframeInterval(), remuxMaxBitRate, hlsTime)) {
+            try {
+                executor.createJob(buildHlsCommand(video, hlsVideoDir, true)).run();
+                remuxed = true;
+            } catch (RuntimeException e) {
+                // The muxer can still reject a copied stream (odd timestamps etc.), so fall back to transcoding
+                e.printStackTrace();
+                clearDirectory(hlsVideoDir);
+            }
+        }
+        if (!remuxed) {
+            executor.createJob(buildHlsCommand(video, hlsVideoDir, false)).run();
+        }
+        video.setRemuxed(remuxed);
+
+        // Update video with HLS path
+        video.setHstFilePath(hlsVideoDir.resolve("playlist.m3u8").toString());
+        videoRepo.save(video);
+    }
 
-        // Build FFmpeg command for HLS conversion
-        FFmpegBuilder builder = new FFmpegBuilder()
+    /**
+     * Builds the FFmpeg command that writes the HLS playlist and segments for a video.
+     *
+     * @param video       The video to convert.
+     * @param hlsVideoDir The directory receiving the playlist and segments.
+     * @param remux       Whether to stream-copy the checked video and audio tracks instead of re-encoding.
+     * @return The FFmpeg command.
+     */
+    private FFmpegBuilder buildHlsCommand(Videos video, Path hlsVideoDir, boolean remux) {
+        FFmpegOutputBuilder output = new FFmpegBuilder()
                 .setInput(video.getFilePath())
                 .overrideOutputFiles(true)
-                .addOutput(hlsPlaylistPath)
+                .addOutput(hlsVideoDir.resolve("playlist.m3u8").toString())
                 .setFormat("hls")
-                .addExtraArgs("-hls_time", "10")
+                .addExtraArgs("-hls_time", String.valueOf(hlsTime))
                 .addExtraArgs("-hls_list_size", "0")
-                .addExtraArgs("-hls_segment_filename", hlsVideoDir.resolve("segment_%03d.ts").toString())
-                .done();
+                .addExtraArgs("-hls_segment_filename", hlsVideoDir.resolve("segment_%03d.ts").toString());
 
-        FFmpegExecutor executor = new FFmpegExecutor(ffmpeg, ffprobe);
-        executor.createJob(builder).run();
+        if (remux) {
+            // Map exactly the streams the compatibility check looked at, not ffmpeg's default picks
+            output.addExtraArgs("-map", "0:v:0", "-map", "0:a:0?")
+                    .setVideoCodec("copy")
+                    .setAudioCodec("copy")
+                    .disableSubtitle();
+        }
+        return output.done();
+    }
 
-        // Update video with HLS path
-        video.setHstFilePath(hlsPlaylistPath);
-        videoRepo.save(video);
+    /**
+     * Removes the files left in a directory by a failed conversion.
+     *
+     * @param dir The directory to clear.
+     * @throws IOException If a file cannot be deleted.
+     */
+    private void clearDirectory(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Copies the codec, profile, bitrate and keyframe interval of the probed source onto the video.
+     *
+     * @param video       The video being processed.
+     * @param probeResult The FFprobe result for the source file.
+     * @param ffprobe     The FFprobe instance used to measure the keyframe interval.
+     */
+    private void applyProbeResult(Videos video, FFmpegProbeResult probeResult, FFprobe ffprobe) {
+        FFmpegStream videoStream = null;
+        FFmpegStream audioStream = null;
+        for (FFmpegStream stream : probeResult.getStreams()) {
+            if (videoStream == null && stream.codec_type == FFmpegStream.CodecType.VIDEO) {
+                videoStream = stream;
+            } else if (audioStream == null && stream.codec_type == FFmpegStream.CodecType.AUDIO) {
+                audioStream = stream;
+            }
+        }
+
+        if (videoStream != null) {
+            video.setVideoCodec(videoStream.codec_name);
+            video.setVideoProfile(videoStream.profile);
+            double windowEnd = probeResult.getFormat().start_time
+                    + Math.min(probeResult.getFormat().duration, keyframeProbeSeconds);
+            video.setKeyframeInterval(probeKeyframeInterval(ffprobe, video.getFilePath(), windowEnd));
+        }
+        if (audioStream != null) {
+            video.setAudioCodec(audioStream.codec_name);
+        }
+        video.setBitRate(probeResult.getFormat().bit_rate);
+    }
+
+    /**
+     * Measures the longest gap between video keyframes at the start of the source.
+     * Only packet headers are read, so this stays cheap even for large files.
+     *
+     * @param ffprobe   The FFprobe instance providing the executable path.
+     * @param filePath  The path of the source file.
+     * @param windowEnd The timestamp in seconds where the scanned window ends.
+     * @return The keyframe interval in seconds, or null if it could not be measured.
+     */
+    private Double probeKeyframeInterval(FFprobe ffprobe, String filePath, double windowEnd) {
+        List<String> command = List.of(
+                ffprobe.getPath(),
+                "-v", "error",
+                "-select_streams", "v:0",
+                "-read_intervals", "%+" + keyframeProbeSeconds,
+                "-show_entries", "packet=pts_time,flags",
+                "-of", "csv=p=0",
+                filePath
+        );
+
+        Path packetsFile = null;
+        Process process = null;
+        try {
+            // Output goes to a file so a hung ffprobe can't block us on a pipe read past the timeout
+            packetsFile = Files.createTempFile("keyframes", ".csv");
+            process = new ProcessBuilder(command)
+                    .redirectOutput(packetsFile.toFile())
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(keyframeProbeTimeoutSeconds, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                return null;
+            }
+            return keyframeInterval(Files.readAllLines(packetsFile), windowEnd);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+            if (packetsFile != null) {
+                try {
+                    Files.deleteIfExists(packetsFile);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the longest GOP from ffprobe packet lines ({@code pts_time,flags}), counting the
+     * gap from the last keyframe to the end of the scanned window as well.
+     *
+     * @param packetLines The CSV packet lines printed by ffprobe.
+     * @param windowEnd   The timestamp in seconds where the scanned window ends.
+     * @return The keyframe interval in seconds, or null if no keyframe was found.
+     */
+    static Double keyframeInterval(List<String> packetLines, double windowEnd) {
+        List<Double> keyframeTimes = new ArrayList<>();
+        for (String line : packetLines) {
+            String[] fields = line.trim().split(",");
+            if (fields.length < 2 || !fields[1].startsWith("K")) {
+                continue;
+            }
+            try {
+                keyframeTimes.add(Double.parseDouble(fields[0]));
+            } catch (NumberFormatException e) {
+                // Packets without a timestamp (N/A) can't be placed
+            }
+        }
+        if (keyframeTimes.isEmpty()) {
+            return null;
+        }
+
+        keyframeTimes.sort(Double::compare);
+        double maxInterval = 0;
+        for (int i = 1; i < keyframeTimes.size(); i++) {
+            maxInterval = Math.max(maxInterval, keyframeTimes.get(i) - keyframeTimes.get(i - 1));
+        }
+        double lastKeyframe = keyframeTimes.get(keyframeTimes.size() - 1);
+        return Math.max(maxInterval, windowEnd - lastKeyframe);
+    }
+
+    /**
+     * Decides whether the source can be stream-copied into HLS instead of being re-encoded:
+     * H.264 in a widely supported profile, AAC or no audio, a bitrate within the configured
+     * limit, and keyframes frequent enough to cut segments of the target length.
+     *
+     * @param videoCodec       The codec of the first video stream.
+     * @param videoProfile     The profile of the first video stream.
+     * @param audioCodec       The codec of the first audio stream, or null if there is none.
+     * @param bitRate          The overall bitrate of the source in bits/s.
+     * @param keyframeInterval The longest keyframe interval in seconds.
+     * @param maxBitRate       The highest bitrate allowed for remuxing.
+     * @param hlsTime          The target HLS segment length in seconds.
+     * @return True if the source can be remuxed as-is.
+     */
+    static boolean isRemuxCompatible(String videoCodec, String videoProfile, String audioCodec,
+                                     Long bitRate, Double keyframeInterval, long maxBitRate, int hlsTime) {
+        if (!"h264".equals(videoCodec)) {
+            return false;
+        }
+        if (videoProfile == null || !REMUX_VIDEO_PROFILES.contains(videoProfile.toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        if (audioCodec != null && !"aac".equals(audioCodec)) {
+            return false;
+        }
+        if (bitRate == null || bitRate <= 0 || bitRate > maxBitRate) {
+            return false;
+        }
+        return keyframeInterval != null && keyframeInterval <= hlsTime;
     }
 
     /**
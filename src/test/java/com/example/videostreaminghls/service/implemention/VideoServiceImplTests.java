@@ -0,0 +1,96 @@
+package com.example.videostreaminghls.service.implemention;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VideoServiceImplTests {
+
+    private static final long MAX_BIT_RATE = 8_000_000L;
+    private static final int HLS_TIME = 10;
+
+    private static boolean compatible(String profile, String audioCodec, Long bitRate, Double keyframeInterval) {
+        return VideoServiceImpl.isRemuxCompatible("h264", profile, audioCodec, bitRate, keyframeInterval,
+                MAX_BIT_RATE, HLS_TIME);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Constrained Baseline", "Baseline", "Main", "High"})
+    void allowsSupportedProfiles(String profile) {
+        assertTrue(compatible(profile, "aac", 4_000_000L, 2.0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"High 10", "High 4:2:2", "High 4:4:4 Predictive", "Extended"})
+    void rejectsUnsupportedProfiles(String profile) {
+        assertFalse(compatible(profile, "aac", 4_000_000L, 2.0));
+    }
+
+    @Test
+    void rejectsMissingProfileAndOtherCodecs() {
+        assertFalse(compatible(null, "aac", 4_000_000L, 2.0));
+        assertFalse(VideoServiceImpl.isRemuxCompatible("hevc", "Main", "aac", 4_000_000L, 2.0,
+                MAX_BIT_RATE, HLS_TIME));
+    }
+
+    @Test
+    void allowsVideoWithoutAudio() {
+        assertTrue(compatible("High", null, 4_000_000L, 2.0));
+    }
+
+    @Test
+    void rejectsNonAacAudio() {
+        assertFalse(compatible("High", "ac3", 4_000_000L, 2.0));
+        assertFalse(compatible("High", "mp3", 4_000_000L, 2.0));
+    }
+
+    @Test
+    void rejectsZeroMissingOrExcessiveBitRate() {
+        assertFalse(compatible("High", "aac", null, 2.0));
+        assertFalse(compatible("High", "aac", 0L, 2.0));
+        assertFalse(compatible("High", "aac", MAX_BIT_RATE + 1, 2.0));
+    }
+
+    @Test
+    void rejectsLongOrUnknownKeyframeInterval() {
+        assertTrue(compatible("High", "aac", 4_000_000L, 10.0));
+        assertFalse(compatible("High", "aac", 4_000_000L, 10.5));
+        assertFalse(compatible("High", "aac", 4_000_000L, null));
+    }
+
+    @Test
+    void measuresLongestGapBetweenKeyframes() {
+        List<String> packets = List.of("0.000000,K__", "0.040000,___", "2.000000,K__", "5.000000,K__", "6.000000,K__");
+        assertEquals(3.0, VideoServiceImpl.keyframeInterval(packets, 6.5), 1e-9);
+    }
+
+    @Test
+    void countsGapFromLastKeyframeToWindowEnd() {
+        List<String> packets = List.of("0.000000,K__", "1.000000,___", "2.000000,K__", "20.000000,___");
+        assertEquals(28.0, VideoServiceImpl.keyframeInterval(packets, 30.0), 1e-9);
+    }
+
+    @Test
+    void singleKeyframeSpansToWindowEnd() {
+        assertEquals(30.0, VideoServiceImpl.keyframeInterval(List.of("0.000000,K__"), 30.0), 1e-9);
+    }
+
+    @Test
+    void ignoresPacketsWithoutTimestamp() {
+        List<String> packets = List.of("N/A,K__", "0.000000,K__", "4.000000,K__");
+        assertEquals(4.0, VideoServiceImpl.keyframeInterval(packets, 8.0), 1e-9);
+    }
+
+    @Test
+    void returnsNullWithoutKeyframes() {
+        assertNull(VideoServiceImpl.keyframeInterval(List.of("0.040000,___"), 30.0));
+        assertNull(VideoServiceImpl.keyframeInterval(List.of(), 30.0));
+    }
+}